@@ -1,5 +1,12 @@
 package org.example;
 
+import org.example.highlight.HighlightedDocument;
+import org.example.highlight.Lexer;
+import org.example.highlight.Lexers;
+import org.example.highlight.SyntaxHighlighter;
+import org.example.quickopen.ProjectIndex;
+import org.example.quickopen.QuickOpenDialog;
+
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.text.*;
@@ -35,7 +42,7 @@ public class TextEditor extends JFrame {
     private JTextField replaceField;
     private JButton replaceButton;
     private JButton replaceAllButton;
-
+    private ProjectIndex projectIndex;
 
     public TextEditor() {
         setTitle("Text Editor");
@@ -63,6 +70,15 @@ public class TextEditor extends JFrame {
         openMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_O, InputEvent.CTRL_MASK));
         fileMenu.add(openMenuItem);
 
+        JMenuItem openProjectMenuItem = new JMenuItem("Open Project");
+        openProjectMenuItem.addActionListener(e -> openProject());
+        fileMenu.add(openProjectMenuItem);
+
+        JMenuItem quickOpenMenuItem = new JMenuItem("Quick Open");
+        quickOpenMenuItem.addActionListener(e -> quickOpen());
+        quickOpenMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_P, InputEvent.CTRL_MASK));
+        fileMenu.add(quickOpenMenuItem);
+
         JMenuItem saveMenuItem = new JMenuItem("Save");
         saveMenuItem.addActionListener(e -> save());
         saveMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S, InputEvent.CTRL_MASK));
@@ -425,6 +441,34 @@ public class TextEditor extends JFrame {
         }
     }
 
+    private boolean openProject() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        int result = fileChooser.showOpenDialog(this);
+        if (result != JFileChooser.APPROVE_OPTION) {
+            return false;
+        }
+
+        try {
+            if (projectIndex != null) {
+                projectIndex.close();
+            }
+            projectIndex = ProjectIndex.open(fileChooser.getSelectedFile().toPath());
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Error when opening a project", "Error", JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+    }
+
+    private void quickOpen() {
+        if (projectIndex == null && !openProject()) {
+            return;
+        }
+        new QuickOpenDialog(this, projectIndex, this::openFile).setVisible(true);
+    }
+
     private void openFile(File selectedFile) {
         if (tabInfoMap.containsValue(selectedFile)) {
             JOptionPane.showMessageDialog(this, "The file has already been opened.", "Warning", JOptionPane.WARNING_MESSAGE);
@@ -448,6 +492,11 @@ public class TextEditor extends JFrame {
 
             JScrollPane scrollPane = new JScrollPane(textArea);
 
+            Lexer lexer = Lexers.forFile(selectedFile);
+            if (lexer != null) {
+                textArea.putClientProperty(SyntaxHighlighter.class, SyntaxHighlighter.install(textArea, scrollPane, lexer));
+            }
+
             JPanel tabPanel = createTabPanel(selectedFile, textArea);
 
             tabbedPane.addTab(selectedFile.getAbsolutePath(), scrollPane);
@@ -519,6 +568,9 @@ public class TextEditor extends JFrame {
 
     private JTextPane createTextArea(File file, String content) {
         JTextPane textArea = new JTextPane();
+        if (Lexers.forFile(file) != null) {
+            textArea.setStyledDocument(new HighlightedDocument());
+        }
         textArea.setText(content);
         textArea.setName(file.getAbsolutePath());
         return textArea;
@@ -588,6 +640,13 @@ public class TextEditor extends JFrame {
         if (tabIndex != -1) {
             tabbedPane.remove(tabIndex);
             tabInfoMap.remove(file.getAbsolutePath());
+            uninstallHighlighter(textArea);
+        }
+    }
+
+    private void uninstallHighlighter(JTextPane textArea) {
+        if (textArea != null && textArea.getClientProperty(SyntaxHighlighter.class) instanceof SyntaxHighlighter highlighter) {
+            highlighter.uninstall();
         }
     }
 
@@ -624,6 +683,7 @@ public class TextEditor extends JFrame {
 
                     tabInfoMap.remove(textArea.getName());
                     tabbedPane.remove(selectedIndex);
+                    uninstallHighlighter(textArea);
 
                     saveFile(selectedFile, textArea);
                     openFile(selectedFile);
@@ -0,0 +1,116 @@
+package org.example.highlight;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Styled document that lets {@link SyntaxHighlighter} restyle a whole batch of token runs at
+ * once. Instead of one {@code setCharacterAttributes} call (write lock, event and repaint) per
+ * run, the leaves overlapping the runs are rebuilt once per paragraph and a single change event
+ * is fired.
+ */
+public class HighlightedDocument extends DefaultStyledDocument {
+
+    /**
+     * Merges each range's style into the character attributes it covers. Ranges must be ordered
+     * and must not overlap. The change is not reported as an undoable edit.
+     */
+    void applyStyles(List<StyledRange> ranges) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        writeLock();
+        try {
+            int start = ranges.get(0).offset();
+            int end = ranges.get(ranges.size() - 1).end();
+            DefaultDocumentEvent changes = new DefaultDocumentEvent(start, end - start, DocumentEvent.EventType.CHANGE);
+            Element root = getDefaultRootElement();
+            int lastParagraph = root.getElementIndex(end - 1);
+            int next = 0;
+            for (int index = root.getElementIndex(start); index <= lastParagraph; index++) {
+                next = restyleParagraph((BranchElement) root.getElement(index), ranges, next, changes);
+            }
+            changes.end();
+            fireChangedUpdate(changes);
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Rebuilds the leaves of {@code paragraph} that overlap the ranges from {@code first} on and
+     * returns the index of the first range that continues past the paragraph. Leaves outside the
+     * ranges are left alone, so a long paragraph only pays for the part being restyled.
+     */
+    private int restyleParagraph(BranchElement paragraph, List<StyledRange> ranges, int first, DefaultDocumentEvent changes) {
+        int paragraphEnd = paragraph.getEndOffset();
+        if (first >= ranges.size() || ranges.get(first).offset() >= paragraphEnd) {
+            return first;
+        }
+        int last = first;
+        while (last + 1 < ranges.size() && ranges.get(last + 1).offset() < paragraphEnd) {
+            last++;
+        }
+        int firstLeaf = paragraph.getElementIndex(Math.max(ranges.get(first).offset(), paragraph.getStartOffset()));
+        int lastLeaf = paragraph.getElementIndex(Math.min(ranges.get(last).end(), paragraphEnd) - 1);
+
+        List<Segment> segments = new ArrayList<>();
+        int next = first;
+        for (int i = firstLeaf; i <= lastLeaf; i++) {
+            Element leaf = paragraph.getElement(i);
+            int position = leaf.getStartOffset();
+            while (position < leaf.getEndOffset()) {
+                while (next < ranges.size() && ranges.get(next).end() <= position) {
+                    next++;
+                }
+                StyledRange range = next < ranges.size() ? ranges.get(next) : null;
+                if (range != null && range.offset() <= position) {
+                    SimpleAttributeSet attributes = new SimpleAttributeSet(leaf.getAttributes());
+                    attributes.addAttributes(range.style());
+                    position = addSegment(segments, position, Math.min(leaf.getEndOffset(), range.end()), attributes);
+                } else {
+                    int segmentEnd = range != null ? Math.min(leaf.getEndOffset(), range.offset()) : leaf.getEndOffset();
+                    position = addSegment(segments, position, segmentEnd, leaf.getAttributes());
+                }
+            }
+        }
+
+        Element[] removed = new Element[lastLeaf - firstLeaf + 1];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = paragraph.getElement(firstLeaf + i);
+        }
+        Element[] added = new Element[segments.size()];
+        for (int i = 0; i < added.length; i++) {
+            Segment segment = segments.get(i);
+            added[i] = createLeafElement(paragraph, segment.attributes(), segment.start(), segment.end());
+        }
+        paragraph.replace(firstLeaf, removed.length, added);
+        changes.addEdit(new ElementEdit(paragraph, firstLeaf, removed, added));
+
+        while (next < ranges.size() && ranges.get(next).end() <= paragraphEnd) {
+            next++;
+        }
+        return next;
+    }
+
+    private static int addSegment(List<Segment> segments, int start, int end, AttributeSet attributes) {
+        int last = segments.size() - 1;
+        if (last >= 0 && segments.get(last).end() == start && segments.get(last).attributes().isEqual(attributes)) {
+            segments.set(last, new Segment(segments.get(last).start(), end, segments.get(last).attributes()));
+        } else {
+            segments.add(new Segment(start, end, attributes));
+        }
+        return end;
+    }
+
+    record StyledRange(int offset, int length, AttributeSet style) {
+        int end() {
+            return offset + length;
+        }
+    }
+
+    private record Segment(int start, int end, AttributeSet attributes) {
+    }
+}
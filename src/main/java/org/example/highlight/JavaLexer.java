@@ -0,0 +1,86 @@
+package org.example.highlight;
+
+import java.util.Set;
+
+import static org.example.highlight.LexerSupport.*;
+
+public class JavaLexer implements Lexer {
+    private static final int BLOCK_COMMENT = 1;
+    private static final int TEXT_BLOCK = 2;
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+            "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+            "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp",
+            "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void",
+            "volatile", "while", "var", "record", "yield", "sealed", "permits"
+    );
+    private static final Set<String> LITERALS = Set.of("true", "false", "null");
+
+    @Override
+    public int tokenize(CharSequence line, int state, TokenSink sink) {
+        int length = line.length();
+        int i = 0;
+
+        if (state == BLOCK_COMMENT || state == TEXT_BLOCK) {
+            String terminator = state == BLOCK_COMMENT ? "*/" : "\"\"\"";
+            TokenType type = state == BLOCK_COMMENT ? TokenType.COMMENT : TokenType.STRING;
+            int end = indexOf(line, terminator, 0);
+            if (end == -1) {
+                sink.token(0, length, type);
+                return state;
+            }
+            i = end + terminator.length();
+            sink.token(0, i, type);
+        }
+
+        while (i < length) {
+            char c = line.charAt(i);
+            if (startsWith(line, i, "//")) {
+                sink.token(i, length - i, TokenType.COMMENT);
+                return INITIAL_STATE;
+            } else if (startsWith(line, i, "/*")) {
+                int end = indexOf(line, "*/", i + 2);
+                if (end == -1) {
+                    sink.token(i, length - i, TokenType.COMMENT);
+                    return BLOCK_COMMENT;
+                }
+                sink.token(i, end + 2 - i, TokenType.COMMENT);
+                i = end + 2;
+            } else if (startsWith(line, i, "\"\"\"")) {
+                int end = indexOf(line, "\"\"\"", i + 3);
+                if (end == -1) {
+                    sink.token(i, length - i, TokenType.STRING);
+                    return TEXT_BLOCK;
+                }
+                sink.token(i, end + 3 - i, TokenType.STRING);
+                i = end + 3;
+            } else if (c == '"' || c == '\'') {
+                int end = skipQuoted(line, i);
+                sink.token(i, end - i, TokenType.STRING);
+                i = end;
+            } else if (c == '@' && i + 1 < length && Character.isJavaIdentifierStart(line.charAt(i + 1))) {
+                int end = skipIdentifier(line, i + 1);
+                sink.token(i, end - i, TokenType.ANNOTATION);
+                i = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = skipIdentifier(line, i);
+                String word = line.subSequence(i, end).toString();
+                if (KEYWORDS.contains(word)) {
+                    sink.token(i, end - i, TokenType.KEYWORD);
+                } else if (LITERALS.contains(word)) {
+                    sink.token(i, end - i, TokenType.LITERAL);
+                }
+                i = end;
+            } else if (Character.isDigit(c)) {
+                int end = skipNumber(line, i);
+                sink.token(i, end - i, TokenType.NUMBER);
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return INITIAL_STATE;
+    }
+}
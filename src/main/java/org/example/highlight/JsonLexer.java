@@ -0,0 +1,36 @@
+package org.example.highlight;
+
+import static org.example.highlight.LexerSupport.*;
+
+public class JsonLexer implements Lexer {
+
+    @Override
+    public int tokenize(CharSequence line, int state, TokenSink sink) {
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                int end = skipQuoted(line, i);
+                int next = skipWhitespace(line, end);
+                boolean key = next < length && line.charAt(next) == ':';
+                sink.token(i, end - i, key ? TokenType.KEY : TokenType.STRING);
+                i = end;
+            } else if (c == '-' || Character.isDigit(c)) {
+                int end = skipNumber(line, i);
+                sink.token(i, end - i, TokenType.NUMBER);
+                i = end;
+            } else if (Character.isLetter(c)) {
+                int end = skipIdentifier(line, i);
+                String word = line.subSequence(i, end).toString();
+                if (word.equals("true") || word.equals("false") || word.equals("null")) {
+                    sink.token(i, end - i, TokenType.LITERAL);
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return INITIAL_STATE;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.highlight;
+
+/**
+ * Splits a single line into tokens. Lexers are resumable: the state returned for one line is
+ * passed back in for the next, so multi-line constructs (block comments, XML comments, ...)
+ * survive line boundaries without re-reading earlier text.
+ */
+public interface Lexer {
+    int INITIAL_STATE = 0;
+
+    /**
+     * Reports the tokens of {@code line} (without its line terminator) to {@code sink} in order
+     * and returns the state at the start of the next line.
+     */
+    int tokenize(CharSequence line, int state, TokenSink sink);
+
+    interface TokenSink {
+        TokenSink NONE = (start, length, type) -> {
+        };
+
+        void token(int start, int length, TokenType type);
+    }
+}
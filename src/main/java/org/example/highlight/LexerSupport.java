@@ -0,0 +1,73 @@
+package org.example.highlight;
+
+final class LexerSupport {
+    private LexerSupport() {
+    }
+
+    static int indexOf(CharSequence text, String target, int from) {
+        int last = text.length() - target.length();
+        for (int i = Math.max(from, 0); i <= last; i++) {
+            if (startsWith(text, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean startsWith(CharSequence text, int offset, String prefix) {
+        if (offset + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int skipQuoted(CharSequence text, int start) {
+        char quote = text.charAt(start);
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return text.length();
+    }
+
+    static int skipIdentifier(CharSequence text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static int skipNumber(CharSequence text, int start) {
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            boolean exponentSign = (c == '+' || c == '-') && (text.charAt(i - 1) == 'e' || text.charAt(i - 1) == 'E');
+            if (!Character.isLetterOrDigit(c) && c != '.' && c != '_' && !exponentSign) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    static int skipWhitespace(CharSequence text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.highlight;
+
+import java.io.File;
+
+public final class Lexers {
+    private Lexers() {
+    }
+
+    /**
+     * Returns the lexer for the file's extension, or {@code null} if the file is not highlighted.
+     */
+    public static Lexer forFile(File file) {
+        String name = file.getName().toLowerCase();
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "java" -> new JavaLexer();
+            case "json" -> new JsonLexer();
+            case "xml", "xsd", "xsl", "xslt", "pom", "svg" -> new XmlLexer();
+            case "log" -> new LogLexer();
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.highlight;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class LogLexer implements Lexer {
+    private static final Pattern TIMESTAMP = Pattern.compile(
+            "^\\[?\\d{4}-\\d{2}-\\d{2}[T ]\\d{2}:\\d{2}:\\d{2}(?:[.,]\\d+)?(?:Z|[+-]\\d{2}:?\\d{2})?]?");
+    private static final Pattern LEVEL = Pattern.compile(
+            "\\b(FATAL|SEVERE|ERROR|WARNING|WARN|INFO|DEBUG|TRACE|FINE|FINER|FINEST)\\b");
+    private static final Pattern STACK_FRAME = Pattern.compile("^\\s+(?:at |\\.\\.\\. \\d+ more)|^Caused by: ");
+
+    @Override
+    public int tokenize(CharSequence line, int state, TokenSink sink) {
+        if (STACK_FRAME.matcher(line).lookingAt()) {
+            sink.token(0, line.length(), TokenType.COMMENT);
+            return INITIAL_STATE;
+        }
+
+        int position = 0;
+        Matcher timestamp = TIMESTAMP.matcher(line);
+        if (timestamp.lookingAt()) {
+            sink.token(0, timestamp.end(), TokenType.TIMESTAMP);
+            position = timestamp.end();
+        }
+
+        Matcher level = LEVEL.matcher(line);
+        if (level.find(position)) {
+            sink.token(level.start(), level.end() - level.start(), levelType(level.group(1)));
+        }
+        return INITIAL_STATE;
+    }
+
+    private TokenType levelType(String level) {
+        return switch (level) {
+            case "FATAL", "SEVERE", "ERROR" -> TokenType.LOG_ERROR;
+            case "WARNING", "WARN" -> TokenType.LOG_WARNING;
+            case "INFO" -> TokenType.LOG_INFO;
+            default -> TokenType.LOG_DEBUG;
+        };
+    }
+}
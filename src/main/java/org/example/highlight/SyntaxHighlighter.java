@@ -0,0 +1,383 @@
+package org.example.highlight;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Colours a {@link JTextPane} with a {@link Lexer}.
+ * <p>
+ * The lexer state at the start of every line is kept in {@code lineStates}, so an edit only
+ * re-lexes from the damaged line until the state matches the one recorded before the edit.
+ * Lexing runs on a background thread under the document read lock and only covers the visible
+ * lines plus a margin; the runs that do not already carry the right style are applied on the EDT
+ * as one batch through {@link HighlightedDocument}. The pane must use a {@link HighlightedDocument}.
+ */
+public class SyntaxHighlighter implements DocumentListener, ChangeListener {
+    private static final int VIEWPORT_MARGIN_LINES = 100;
+    private static final int VIEWPORT_MARGIN_CHARS = 16 * 1024;
+    private static final int MAX_LINE_LENGTH = 8 * 1024 * 1024;
+    private static final int LINES_PER_READ_LOCK = 4096;
+    private static final int SCHEDULE_DELAY_MS = 40;
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "syntax-highlighter");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private static final Map<TokenType, AttributeSet> STYLES = createStyles();
+
+    private final JTextPane textPane;
+    private final JViewport viewport;
+    private final HighlightedDocument document;
+    private final Lexer lexer;
+    private final Timer scheduleTimer;
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private int lineCount;
+    private volatile boolean installed;
+    private volatile int requestedFirstLine;
+    private volatile int requestedLastLine;
+    private volatile int requestedStartOffset;
+    private volatile int requestedEndOffset;
+
+    // Guarded by this. States of lines 0..firstDirtyLine are correct; states up to validLine were
+    // recorded by an earlier pass, and those in (firstDirtyLine, dirtyToLine] belong to edited text.
+    // dirtyToLine is -1 when no edit is pending.
+    private int[] lineStates = new int[1024];
+    private int validLine;
+    private int firstDirtyLine;
+    private int dirtyToLine = -1;
+    private long generation;
+
+    private SyntaxHighlighter(JTextPane textPane, JScrollPane scrollPane, Lexer lexer) {
+        this.textPane = textPane;
+        this.viewport = scrollPane.getViewport();
+        if (!(textPane.getStyledDocument() instanceof HighlightedDocument highlightedDocument)) {
+            throw new IllegalArgumentException("Syntax highlighting needs a HighlightedDocument");
+        }
+        this.document = highlightedDocument;
+        this.lexer = lexer;
+        this.lineStates[0] = Lexer.INITIAL_STATE;
+        this.lineCount = document.getDefaultRootElement().getElementCount();
+
+        scheduleTimer = new Timer(SCHEDULE_DELAY_MS, e -> scheduleVisibleLines());
+        scheduleTimer.setRepeats(false);
+    }
+
+    public static SyntaxHighlighter install(JTextPane textPane, JScrollPane scrollPane, Lexer lexer) {
+        SyntaxHighlighter highlighter = new SyntaxHighlighter(textPane, scrollPane, lexer);
+        highlighter.installed = true;
+        highlighter.document.addDocumentListener(highlighter);
+        highlighter.viewport.addChangeListener(highlighter);
+        highlighter.scheduleTimer.restart();
+        return highlighter;
+    }
+
+    public void uninstall() {
+        installed = false;
+        scheduleTimer.stop();
+        document.removeDocumentListener(this);
+        viewport.removeChangeListener(this);
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        Element root = document.getDefaultRootElement();
+        int line = root.getElementIndex(e.getOffset());
+        int added = root.getElementIndex(e.getOffset() + e.getLength()) - line + 1;
+        linesChanged(line, added);
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        linesChanged(document.getDefaultRootElement().getElementIndex(e.getOffset()), 1);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    @Override
+    public void stateChanged(ChangeEvent e) {
+        scheduleTimer.restart();
+    }
+
+    private void linesChanged(int line, int added) {
+        int count = document.getDefaultRootElement().getElementCount();
+        linesReplaced(line, added - (count - lineCount), added);
+        lineCount = count;
+        scheduleTimer.restart();
+    }
+
+    /**
+     * Records that {@code removed} lines starting at {@code line} were replaced by {@code added} lines.
+     */
+    private synchronized void linesReplaced(int line, int removed, int added) {
+        generation++;
+        int delta = added - removed;
+        int oldTail = line + removed;
+
+        if (validLine >= oldTail) {
+            if (delta != 0) {
+                ensureCapacity(validLine + delta + 1);
+                System.arraycopy(lineStates, oldTail, lineStates, oldTail + delta, validLine - oldTail + 1);
+                validLine += delta;
+            }
+        } else {
+            validLine = Math.min(validLine, line);
+        }
+
+        if (dirtyToLine >= oldTail) {
+            dirtyToLine += delta;
+        } else {
+            dirtyToLine = Math.min(dirtyToLine, line);
+        }
+        dirtyToLine = Math.max(dirtyToLine, line + added - 1);
+        firstDirtyLine = Math.min(firstDirtyLine, line);
+    }
+
+    private void scheduleVisibleLines() {
+        if (!installed) {
+            return;
+        }
+        Rectangle view = viewport.getViewRect();
+        Element root = document.getDefaultRootElement();
+        int firstOffset = textPane.viewToModel2D(new Point(view.x, view.y));
+        int lastOffset = textPane.viewToModel2D(new Point(view.x + view.width, view.y + view.height));
+        requestedFirstLine = Math.max(0, root.getElementIndex(Math.max(0, firstOffset)) - VIEWPORT_MARGIN_LINES);
+        requestedLastLine = root.getElementIndex(Math.max(0, lastOffset)) + VIEWPORT_MARGIN_LINES;
+        // Long lines are clipped to the characters around the viewport as well.
+        requestedStartOffset = Math.max(0, firstOffset - VIEWPORT_MARGIN_CHARS);
+        requestedEndOffset = Math.max(0, lastOffset) + VIEWPORT_MARGIN_CHARS;
+
+        if (!queued.getAndSet(true)) {
+            EXECUTOR.execute(this::highlightRequestedLines);
+        }
+    }
+
+    private void highlightRequestedLines() {
+        queued.set(false);
+        int firstLine = requestedFirstLine;
+        int lastLine = requestedLastLine;
+        Segment segment = new Segment();
+        RunCollector collector = new RunCollector(requestedStartOffset, requestedEndOffset);
+        long[] passGeneration = {-1};
+
+        // Catching up on a large file is split over several read locks so edits are not blocked.
+        while (installed && passGeneration[0] == -1) {
+            document.render(() -> {
+                synchronized (this) {
+                    try {
+                        if (advanceStates(lastLine, segment)) {
+                            collectRuns(firstLine, lastLine, segment, collector);
+                            passGeneration[0] = generation;
+                        }
+                    } catch (BadLocationException e) {
+                        e.printStackTrace();
+                        passGeneration[0] = Long.MIN_VALUE;
+                    }
+                }
+            });
+        }
+
+        if (installed && passGeneration[0] != Long.MIN_VALUE) {
+            SwingUtilities.invokeLater(() -> applyRuns(collector.runs, passGeneration[0]));
+        }
+    }
+
+    private boolean advanceStates(int targetLine, Segment segment) throws BadLocationException {
+        Element root = document.getDefaultRootElement();
+        int target = Math.min(targetLine, root.getElementCount() - 1);
+        int budget = LINES_PER_READ_LOCK;
+        int line = firstDirtyLine;
+
+        while (line < target) {
+            if (budget-- == 0) {
+                return false;
+            }
+            int state = lexLine(root, line, segment, Lexer.TokenSink.NONE);
+            int next = line + 1;
+            if (next > dirtyToLine && next <= validLine && lineStates[next] == state) {
+                // The state has settled: everything recorded after this line is still valid.
+                line = validLine;
+            } else {
+                ensureCapacity(next + 1);
+                lineStates[next] = state;
+                validLine = Math.max(validLine, next);
+                line = next;
+            }
+            firstDirtyLine = line;
+            if (firstDirtyLine > dirtyToLine) {
+                // Past the edited lines: the next edit must not inherit this dirty range.
+                dirtyToLine = -1;
+            }
+        }
+        return true;
+    }
+
+    private void collectRuns(int firstLine, int lastLine, Segment segment, RunCollector collector)
+            throws BadLocationException {
+        Element root = document.getDefaultRootElement();
+        int last = Math.min(lastLine, root.getElementCount() - 1);
+        for (int line = Math.min(firstLine, last); line <= last; line++) {
+            Element element = root.getElement(line);
+            if (element.getEndOffset() <= collector.windowStart || element.getStartOffset() >= collector.windowEnd) {
+                continue;
+            }
+            collector.startLine(element.getStartOffset());
+            lexLine(root, line, segment, collector);
+            collector.endLine(Math.min(element.getEndOffset(), document.getLength()));
+        }
+    }
+
+    /**
+     * Lexes one line and returns the state for the next. Lines longer than {@link #MAX_LINE_LENGTH}
+     * are left unstyled and pass their start state through unchanged.
+     */
+    private int lexLine(Element root, int line, Segment segment, Lexer.TokenSink sink) throws BadLocationException {
+        Element element = root.getElement(line);
+        int start = element.getStartOffset();
+        int length = element.getEndOffset() - start - 1;
+        if (length > MAX_LINE_LENGTH) {
+            return lineStates[line];
+        }
+        document.getText(start, length, segment);
+        return lexer.tokenize(segment, lineStates[line], sink);
+    }
+
+    private void applyRuns(List<Run> runs, long passGeneration) {
+        synchronized (this) {
+            if (!installed || passGeneration != generation) {
+                return;
+            }
+        }
+        List<HighlightedDocument.StyledRange> changed = new ArrayList<>();
+        for (Run run : runs) {
+            AttributeSet style = STYLES.get(run.type());
+            if (!hasStyle(run, style)) {
+                changed.add(new HighlightedDocument.StyledRange(run.offset(), run.length(), style));
+            }
+        }
+        document.applyStyles(changed);
+    }
+
+    private boolean hasStyle(Run run, AttributeSet style) {
+        int end = run.offset() + run.length();
+        for (int position = run.offset(); position < end; ) {
+            Element element = document.getCharacterElement(position);
+            if (!hasTokenAttributes(element.getAttributes(), style)) {
+                return false;
+            }
+            position = element.getEndOffset();
+        }
+        return true;
+    }
+
+    private static boolean hasTokenAttributes(AttributeSet attributes, AttributeSet style) {
+        return StyleConstants.getForeground(attributes).equals(StyleConstants.getForeground(style))
+                && StyleConstants.isBold(attributes) == StyleConstants.isBold(style)
+                && StyleConstants.isItalic(attributes) == StyleConstants.isItalic(style);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > lineStates.length) {
+            lineStates = Arrays.copyOf(lineStates, Math.max(size, lineStates.length * 2));
+        }
+    }
+
+    private static Map<TokenType, AttributeSet> createStyles() {
+        Map<TokenType, AttributeSet> styles = new EnumMap<>(TokenType.class);
+        styles.put(TokenType.PLAIN, style(Color.BLACK, false, false));
+        styles.put(TokenType.KEYWORD, style(new Color(0x00, 0x33, 0x99), true, false));
+        styles.put(TokenType.STRING, style(new Color(0x06, 0x7D, 0x17), false, false));
+        styles.put(TokenType.NUMBER, style(new Color(0x17, 0x50, 0xEB), false, false));
+        styles.put(TokenType.COMMENT, style(new Color(0x8C, 0x8C, 0x8C), false, true));
+        styles.put(TokenType.ANNOTATION, style(new Color(0x9E, 0x88, 0x0D), false, false));
+        styles.put(TokenType.LITERAL, style(new Color(0x00, 0x33, 0x99), true, false));
+        styles.put(TokenType.KEY, style(new Color(0x87, 0x10, 0x94), false, false));
+        styles.put(TokenType.TAG, style(new Color(0x00, 0x00, 0x80), true, false));
+        styles.put(TokenType.ATTRIBUTE, style(new Color(0x17, 0x50, 0xEB), false, false));
+        styles.put(TokenType.TIMESTAMP, style(new Color(0x8C, 0x8C, 0x8C), false, false));
+        styles.put(TokenType.LOG_ERROR, style(Color.RED, true, false));
+        styles.put(TokenType.LOG_WARNING, style(Color.ORANGE, true, false));
+        styles.put(TokenType.LOG_INFO, style(new Color(0x06, 0x7D, 0x17), false, false));
+        styles.put(TokenType.LOG_DEBUG, style(Color.GRAY, false, false));
+        return styles;
+    }
+
+    /**
+     * Token styles only carry the foreground, bold and italic keys, and always all three, so that
+     * applying them without replacing keeps the font, size and background chosen by the user.
+     */
+    private static AttributeSet style(Color color, boolean bold, boolean italic) {
+        StyleContext context = StyleContext.getDefaultStyleContext();
+        AttributeSet style = context.addAttribute(SimpleAttributeSet.EMPTY, StyleConstants.Foreground, color);
+        style = context.addAttribute(style, StyleConstants.Bold, bold);
+        return context.addAttribute(style, StyleConstants.Italic, italic);
+    }
+
+    private record Run(int offset, int length, TokenType type) {
+    }
+
+    /**
+     * Collects the runs of the lexed lines, clipped to {@code [windowStart, windowEnd)} so that a
+     * long line only yields the runs around the viewport.
+     */
+    private static final class RunCollector implements Lexer.TokenSink {
+        private final List<Run> runs = new ArrayList<>();
+        private final int windowStart;
+        private final int windowEnd;
+        private int lineStart;
+        private int position;
+
+        RunCollector(int windowStart, int windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        void startLine(int offset) {
+            lineStart = offset;
+            position = offset;
+        }
+
+        void endLine(int offset) {
+            add(position, offset - position, TokenType.PLAIN);
+            position = offset;
+        }
+
+        @Override
+        public void token(int start, int length, TokenType type) {
+            int offset = lineStart + start;
+            add(position, offset - position, TokenType.PLAIN);
+            add(offset, length, type);
+            position = offset + length;
+        }
+
+        private void add(int offset, int length, TokenType type) {
+            int start = Math.max(offset, windowStart);
+            int end = Math.min(offset + length, windowEnd);
+            if (end <= start) {
+                return;
+            }
+            int last = runs.size() - 1;
+            if (last >= 0 && runs.get(last).type() == type && runs.get(last).offset() + runs.get(last).length() == start) {
+                runs.set(last, new Run(runs.get(last).offset(), runs.get(last).length() + end - start, type));
+            } else {
+                runs.add(new Run(start, end - start, type));
+            }
+        }
+    }
+}
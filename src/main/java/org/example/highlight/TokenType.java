@@ -0,0 +1,19 @@
+package org.example.highlight;
+
+public enum TokenType {
+    PLAIN,
+    KEYWORD,
+    STRING,
+    NUMBER,
+    COMMENT,
+    ANNOTATION,
+    LITERAL,
+    KEY,
+    TAG,
+    ATTRIBUTE,
+    TIMESTAMP,
+    LOG_ERROR,
+    LOG_WARNING,
+    LOG_INFO,
+    LOG_DEBUG
+}
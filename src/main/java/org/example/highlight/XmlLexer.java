@@ -0,0 +1,113 @@
+package org.example.highlight;
+
+import static org.example.highlight.LexerSupport.*;
+
+public class XmlLexer implements Lexer {
+    private static final int IN_TAG = 1;
+    private static final int COMMENT = 2;
+    private static final int CDATA = 3;
+    private static final int DOUBLE_QUOTED_VALUE = 4;
+    private static final int SINGLE_QUOTED_VALUE = 5;
+
+    @Override
+    public int tokenize(CharSequence line, int state, TokenSink sink) {
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            switch (state) {
+                case COMMENT -> {
+                    i = closeRegion(line, i, "-->", TokenType.COMMENT, sink);
+                    if (i == -1) {
+                        return COMMENT;
+                    }
+                    state = INITIAL_STATE;
+                }
+                case CDATA -> {
+                    i = closeRegion(line, i, "]]>", TokenType.STRING, sink);
+                    if (i == -1) {
+                        return CDATA;
+                    }
+                    state = INITIAL_STATE;
+                }
+                case DOUBLE_QUOTED_VALUE, SINGLE_QUOTED_VALUE -> {
+                    i = closeRegion(line, i, state == DOUBLE_QUOTED_VALUE ? "\"" : "'", TokenType.STRING, sink);
+                    if (i == -1) {
+                        return state;
+                    }
+                    state = IN_TAG;
+                }
+                case IN_TAG -> {
+                    char c = line.charAt(i);
+                    if (c == '>' || startsWith(line, i, "/>") || startsWith(line, i, "?>")) {
+                        int end = c == '>' ? i + 1 : i + 2;
+                        sink.token(i, end - i, TokenType.TAG);
+                        i = end;
+                        state = INITIAL_STATE;
+                    } else if (c == '"' || c == '\'') {
+                        sink.token(i, 1, TokenType.STRING);
+                        i++;
+                        state = c == '"' ? DOUBLE_QUOTED_VALUE : SINGLE_QUOTED_VALUE;
+                    } else if (isNameChar(c)) {
+                        int end = skipName(line, i);
+                        sink.token(i, end - i, TokenType.ATTRIBUTE);
+                        i = end;
+                    } else {
+                        i++;
+                    }
+                }
+                default -> {
+                    char c = line.charAt(i);
+                    if (startsWith(line, i, "<!--")) {
+                        sink.token(i, 4, TokenType.COMMENT);
+                        i += 4;
+                        state = COMMENT;
+                    } else if (startsWith(line, i, "<![CDATA[")) {
+                        sink.token(i, 9, TokenType.TAG);
+                        i += 9;
+                        state = CDATA;
+                    } else if (c == '<') {
+                        int nameStart = i + 1;
+                        if (nameStart < length && "/?!".indexOf(line.charAt(nameStart)) != -1) {
+                            nameStart++;
+                        }
+                        int end = skipName(line, nameStart);
+                        sink.token(i, end - i, TokenType.TAG);
+                        i = end;
+                        state = IN_TAG;
+                    } else if (c == '&') {
+                        int end = indexOf(line, ";", i);
+                        end = end == -1 ? i + 1 : end + 1;
+                        sink.token(i, end - i, TokenType.LITERAL);
+                        i = end;
+                    } else {
+                        i++;
+                    }
+                }
+            }
+        }
+        return state;
+    }
+
+    private int closeRegion(CharSequence line, int start, String terminator, TokenType type, TokenSink sink) {
+        int end = indexOf(line, terminator, start);
+        if (end == -1) {
+            sink.token(start, line.length() - start, type);
+            return -1;
+        }
+        end += terminator.length();
+        sink.token(start, end - start, type);
+        return end;
+    }
+
+    private boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == ':' || c == '-' || c == '.';
+    }
+
+    private int skipName(CharSequence line, int start) {
+        int i = start;
+        while (i < line.length() && isNameChar(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
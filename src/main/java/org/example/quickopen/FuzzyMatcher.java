@@ -0,0 +1,70 @@
+package org.example.quickopen;
+
+final class FuzzyMatcher {
+    static final int NO_MATCH = Integer.MIN_VALUE;
+
+    private static final int NAME_BONUS = 50;
+    private static final int SUBSTRING_BONUS = 100;
+
+    private FuzzyMatcher() {
+    }
+
+    /**
+     * Scores how well {@code path}, whose file name starts at {@code nameStart}, matches
+     * {@code query}, which must already be lower case. Higher is better; {@link #NO_MATCH} means
+     * the query is not a subsequence of the path.
+     */
+    static int score(CharSequence path, int nameStart, String query) {
+        int score = subsequenceScore(path, 0, query);
+        if (score == NO_MATCH) {
+            return NO_MATCH;
+        }
+        int nameScore = subsequenceScore(path, nameStart, query);
+        if (nameScore != NO_MATCH) {
+            score = Math.max(score, nameScore + NAME_BONUS);
+        }
+        if (containsIgnoreCase(path, query)) {
+            score += SUBSTRING_BONUS;
+        }
+        return score * 4 - path.length();
+    }
+
+    private static boolean containsIgnoreCase(CharSequence path, String query) {
+        for (int i = 0; i + query.length() <= path.length(); i++) {
+            int j = 0;
+            while (j < query.length() && Character.toLowerCase(path.charAt(i + j)) == query.charAt(j)) {
+                j++;
+            }
+            if (j == query.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int subsequenceScore(CharSequence path, int from, String query) {
+        int score = 0;
+        int previous = -2;
+        int q = 0;
+        for (int i = from; i < path.length() && q < query.length(); i++) {
+            if (Character.toLowerCase(path.charAt(i)) != query.charAt(q)) {
+                continue;
+            }
+            score++;
+            if (i == previous + 1) {
+                score += 4;
+            }
+            if (i == 0 || isBoundary(path.charAt(i - 1), path.charAt(i))) {
+                score += 6;
+            }
+            previous = i;
+            q++;
+        }
+        return q == query.length() ? score : NO_MATCH;
+    }
+
+    private static boolean isBoundary(char previous, char current) {
+        return previous == '/' || previous == '_' || previous == '-' || previous == '.' || previous == ' '
+                || (Character.isLowerCase(previous) && Character.isUpperCase(current));
+    }
+}
@@ -0,0 +1,479 @@
+package org.example.quickopen;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-memory index of relative paths ('/' separated).
+ * <p>
+ * A file is stored as its name plus the id of its directory, so a directory path is held once
+ * however many files it contains. File names and directory paths have separate
+ * {@link TrigramPostings}, which keeps shared directory prefixes out of the file postings. File
+ * ids are handed out in increasing order, so postings stay sorted. A removed file leaves a hole
+ * that is skipped until the index is compacted, as does a removed directory.
+ */
+final class PathIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> directoryIds = new HashMap<>();
+    private final List<String> directories = new ArrayList<>();
+    private final List<IntList> directoryFiles = new ArrayList<>();
+    private final TrigramPostings directoryTrigrams = new TrigramPostings();
+
+    private final TrigramPostings nameTrigrams = new TrigramPostings();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] fileDirectories = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int fileCount;
+    private int removedCount;
+    // Written only under the write lock, so size() can be polled without taking the read lock.
+    private volatile int liveCount;
+
+    // Open-addressing table of file ids keyed by (directory, name); -1 marks an empty slot.
+    private int[] fileSlots = emptySlots(INITIAL_CAPACITY * 2);
+
+    void addAll(Collection<String> newPaths, int generation) {
+        lock.writeLock().lock();
+        try {
+            for (String path : newPaths) {
+                int slash = path.lastIndexOf('/');
+                int directory = directoryId(slash < 0 ? "" : path.substring(0, slash));
+                String name = path.substring(slash + 1);
+                int id = find(directory, name);
+                if (id != -1) {
+                    generations[id] = generation;
+                } else {
+                    insert(directory, name, generation);
+                }
+            }
+            liveCount = fileCount - removedCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes {@code path} and, if it was a directory, everything below it.
+     */
+    void removeTree(String path) {
+        lock.writeLock().lock();
+        try {
+            int slash = path.lastIndexOf('/');
+            Integer parent = directoryIds.get(slash < 0 ? "" : path.substring(0, slash));
+            if (parent != null) {
+                int id = find(parent, path.substring(slash + 1));
+                if (id != -1) {
+                    delete(id);
+                }
+            }
+            if (directoryIds.containsKey(path)) {
+                String prefix = path + "/";
+                Iterator<Map.Entry<String, Integer>> entries = directoryIds.entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<String, Integer> entry = entries.next();
+                    if (entry.getKey().equals(path) || entry.getKey().startsWith(prefix)) {
+                        dropDirectory(entry.getValue());
+                        entries.remove();
+                    }
+                }
+            }
+            compactIfNeeded();
+            liveCount = fileCount - removedCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every path that was not added or refreshed in {@code generation}.
+     */
+    void retainGeneration(int generation) {
+        lock.writeLock().lock();
+        try {
+            for (int id = 0; id < fileCount; id++) {
+                if (names[id] != null && generations[id] != generation) {
+                    delete(id);
+                }
+            }
+            compactIfNeeded();
+            liveCount = fileCount - removedCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the spare capacity left by growing the arrays; called once a crawl has finished.
+     */
+    void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            names = Arrays.copyOf(names, Math.max(fileCount, 1));
+            fileDirectories = Arrays.copyOf(fileDirectories, Math.max(fileCount, 1));
+            generations = Arrays.copyOf(generations, Math.max(fileCount, 1));
+            for (IntList files : directoryFiles) {
+                if (files != null) {
+                    files.trimToSize();
+                }
+            }
+            nameTrigrams.trimToSize();
+            directoryTrigrams.trimToSize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        return liveCount;
+    }
+
+    List<String> snapshot() {
+        lock.readLock().lock();
+        try {
+            List<String> paths = new ArrayList<>(fileCount - removedCount);
+            for (int id = 0; id < fileCount; id++) {
+                if (names[id] != null) {
+                    paths.add(path(id));
+                }
+            }
+            return paths;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} paths ranked by {@link FuzzyMatcher}. Files whose name or
+     * directory contains the query are found through the trigram postings and, if there are any,
+     * are the whole result; the fuzzy scan over every file only runs when there are none.
+     * Scoring stops early at {@code deadlineNanos} or once {@code cancelled} returns true, and
+     * the result then says it is incomplete.
+     */
+    Result search(String query, int limit, long deadlineNanos, BooleanSupplier cancelled) {
+        lock.readLock().lock();
+        try {
+            Search search = new Search(query, limit, deadlineNanos, cancelled);
+            boolean complete = search.run();
+            return new Result(search.results(), complete);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String path(int id) {
+        String directory = directories.get(fileDirectories[id]);
+        return directory.isEmpty() ? names[id] : directory + "/" + names[id];
+    }
+
+    private int directoryId(String directory) {
+        Integer id = directoryIds.get(directory);
+        if (id == null) {
+            // Every ancestor is registered too, so removeTree() can tell any deleted directory from a file.
+            if (!directory.isEmpty()) {
+                int slash = directory.lastIndexOf('/');
+                directoryId(slash < 0 ? "" : directory.substring(0, slash));
+            }
+            id = directories.size();
+            directoryIds.put(directory, id);
+            directories.add(directory);
+            directoryFiles.add(new IntList());
+            for (long trigram : trigrams(directory)) {
+                directoryTrigrams.add(trigram, id);
+            }
+        }
+        return id;
+    }
+
+    private int find(int directory, String name) {
+        int mask = fileSlots.length - 1;
+        for (int slot = hash(directory, name) & mask; fileSlots[slot] != -1; slot = (slot + 1) & mask) {
+            int id = fileSlots[slot];
+            if (fileDirectories[id] == directory && name.equals(names[id])) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int directory, String name, int generation) {
+        int id = fileCount++;
+        if (id == names.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, names.length * 2);
+            names = Arrays.copyOf(names, capacity);
+            fileDirectories = Arrays.copyOf(fileDirectories, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        names[id] = name;
+        fileDirectories[id] = directory;
+        generations[id] = generation;
+        directoryFiles.get(directory).add(id);
+        for (long trigram : trigrams(name)) {
+            nameTrigrams.add(trigram, id);
+        }
+
+        if (fileCount * 2 > fileSlots.length) {
+            rehashFiles(fileSlots.length * 2);
+        } else {
+            putSlot(id);
+        }
+    }
+
+    private void putSlot(int id) {
+        int mask = fileSlots.length - 1;
+        int slot = hash(fileDirectories[id], names[id]) & mask;
+        while (fileSlots[slot] != -1) {
+            slot = (slot + 1) & mask;
+        }
+        fileSlots[slot] = id;
+    }
+
+    private void rehashFiles(int capacity) {
+        fileSlots = emptySlots(capacity);
+        for (int id = 0; id < fileCount; id++) {
+            if (names[id] != null) {
+                putSlot(id);
+            }
+        }
+    }
+
+    private void delete(int id) {
+        // The slot stays in fileSlots as a tombstone; a null name never matches in find().
+        names[id] = null;
+        removedCount++;
+    }
+
+    private void dropDirectory(int directory) {
+        // The id stays in directoryTrigrams until the index is compacted; a null entry is skipped by search.
+        IntList files = directoryFiles.get(directory);
+        for (int i = 0; i < files.size(); i++) {
+            if (names[files.get(i)] != null) {
+                delete(files.get(i));
+            }
+        }
+        directories.set(directory, null);
+        directoryFiles.set(directory, null);
+    }
+
+    private void compactIfNeeded() {
+        if (removedCount < 1024 || removedCount < fileCount - removedCount) {
+            return;
+        }
+        List<String> livePaths = new ArrayList<>(fileCount - removedCount);
+        IntList liveGenerations = new IntList();
+        for (int id = 0; id < fileCount; id++) {
+            if (names[id] != null) {
+                livePaths.add(path(id));
+                liveGenerations.add(generations[id]);
+            }
+        }
+
+        directoryIds.clear();
+        directories.clear();
+        directoryFiles.clear();
+        directoryTrigrams.clear();
+        nameTrigrams.clear();
+        names = new String[INITIAL_CAPACITY];
+        fileDirectories = new int[INITIAL_CAPACITY];
+        generations = new int[INITIAL_CAPACITY];
+        fileSlots = emptySlots(INITIAL_CAPACITY * 2);
+        fileCount = 0;
+        removedCount = 0;
+
+        for (int i = 0; i < livePaths.size(); i++) {
+            String path = livePaths.get(i);
+            int slash = path.lastIndexOf('/');
+            insert(directoryId(slash < 0 ? "" : path.substring(0, slash)), path.substring(slash + 1), liveGenerations.get(i));
+        }
+    }
+
+    private static int hash(int directory, String name) {
+        int hash = name.hashCode() * 31 + directory;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int[] emptySlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        return slots;
+    }
+
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (long) Character.toLowerCase(text.charAt(i)) << 32
+                    | (long) Character.toLowerCase(text.charAt(i + 1)) << 16
+                    | Character.toLowerCase(text.charAt(i + 2));
+        }
+        Arrays.sort(trigrams);
+        int unique = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[unique++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, unique);
+    }
+
+    private final class Search {
+        private final String query;
+        private final int limit;
+        private final long deadlineNanos;
+        private final BooleanSupplier cancelled;
+        private final PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingInt(Match::score));
+        private final BitSet scored = new BitSet();
+        private final PathView view = new PathView();
+        private int visited;
+
+        Search(String query, int limit, long deadlineNanos, BooleanSupplier cancelled) {
+            this.query = query;
+            this.limit = limit;
+            this.deadlineNanos = deadlineNanos;
+            this.cancelled = cancelled;
+        }
+
+        /**
+         * Returns false if scoring stopped before every relevant file was scored.
+         */
+        boolean run() {
+            if (query.length() >= 3) {
+                long[] trigrams = trigrams(query);
+                for (int id : nameTrigrams.intersect(trigrams)) {
+                    if (!score(id)) {
+                        return false;
+                    }
+                }
+                for (int directory : directoryTrigrams.intersect(trigrams)) {
+                    IntList files = directoryFiles.get(directory);
+                    for (int i = 0; files != null && i < files.size(); i++) {
+                        if (!score(files.get(i))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            if (best.isEmpty()) {
+                for (int id = 0; id < fileCount; id++) {
+                    if (!score(id)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Scores file {@code id} unless it was already scored; returns false once the deadline has passed.
+         */
+        boolean score(int id) {
+            if ((++visited & 255) == 0 && (System.nanoTime() > deadlineNanos || cancelled.getAsBoolean())) {
+                return false;
+            }
+            if (scored.get(id) || names[id] == null) {
+                return true;
+            }
+            scored.set(id);
+            view.set(directories.get(fileDirectories[id]), names[id]);
+            int score = FuzzyMatcher.score(view, view.nameStart, query);
+            if (score == FuzzyMatcher.NO_MATCH) {
+                return true;
+            }
+            if (best.size() < limit) {
+                best.add(new Match(view.toString(), score));
+            } else if (best.peek().score() < score) {
+                best.poll();
+                best.add(new Match(view.toString(), score));
+            }
+            return true;
+        }
+
+        List<String> results() {
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(Comparator.comparingInt(Match::score).reversed().thenComparing(Match::path));
+            List<String> results = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                results.add(match.path());
+            }
+            return results;
+        }
+    }
+
+    record Result(List<String> paths, boolean complete) {
+    }
+
+    private record Match(String path, int score) {
+    }
+
+    /**
+     * Presents a directory and a file name as one path without concatenating them.
+     */
+    private static final class PathView implements CharSequence {
+        private String directory;
+        private String name;
+        private int nameStart;
+
+        void set(String directory, String name) {
+            this.directory = directory;
+            this.name = name;
+            this.nameStart = directory.isEmpty() ? 0 : directory.length() + 1;
+        }
+
+        @Override
+        public int length() {
+            return nameStart + name.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= nameStart) {
+                return name.charAt(index - nameStart);
+            }
+            return index < directory.length() ? directory.charAt(index) : '/';
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return nameStart == 0 ? name : directory + "/" + name;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            values = new int[4];
+            size = 0;
+        }
+
+        void trimToSize() {
+            values = Arrays.copyOf(values, Math.max(size, 1));
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.quickopen;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Keeps a {@link PathIndex} of every file below a project root.
+ * <p>
+ * The indexer thread first loads the on-disk cache so the index can be searched early, then the
+ * tree is crawled in parallel with one fork/join task per directory. Every crawled directory is
+ * registered with a {@link WatchService}, and a watcher thread applies creations and deletions
+ * as they happen. Paths the crawl did not see again are dropped when it finishes.
+ */
+public class ProjectIndex implements Closeable {
+    private static final Set<String> IGNORED_DIRECTORIES = Set.of(".git", ".hg", ".svn", "node_modules");
+    private static final Path CACHE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".java-window-text-editor", "quick-open");
+    private static final int CACHE_VERSION = 1;
+    private static final long CACHE_SAVE_DELAY_SECONDS = 5;
+
+    private final Path root;
+    private final Path cacheFile;
+    private final PathIndex index = new PathIndex();
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicBoolean indexing = new AtomicBoolean();
+    private final AtomicBoolean crawlRequested = new AtomicBoolean();
+    private volatile boolean cacheLoaded;
+    private volatile boolean cacheDirty;
+    private volatile boolean closed;
+
+    private ProjectIndex(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.cacheFile = CACHE_DIRECTORY.resolve(Integer.toHexString(this.root.toString().hashCode()) + ".cache");
+        this.watchService = this.root.getFileSystem().newWatchService();
+    }
+
+    public static ProjectIndex open(Path root) throws IOException {
+        ProjectIndex projectIndex = new ProjectIndex(root);
+
+        Thread watcher = new Thread(projectIndex::watch, "quick-open-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+
+        projectIndex.startCrawl();
+        return projectIndex;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public boolean isIndexing() {
+        return indexing.get();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns up to {@code limit} files matching {@code query}, best match first, scoring for at
+     * most {@code timeoutMillis}. If time runs out the result is marked incomplete.
+     */
+    public SearchResult search(String query, int limit, long timeoutMillis) {
+        return search(query, limit, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), () -> false);
+    }
+
+    /**
+     * Like {@link #search(String, int, long)} but scores every file unless {@code cancelled}
+     * returns true first.
+     */
+    public SearchResult searchAll(String query, int limit, BooleanSupplier cancelled) {
+        return search(query, limit, Long.MAX_VALUE, cancelled);
+    }
+
+    private SearchResult search(String query, int limit, long deadlineNanos, BooleanSupplier cancelled) {
+        String normalized = query.replaceAll("\\s+", "").replace('\\', '/').toLowerCase();
+        List<Path> paths = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return new SearchResult(paths, true);
+        }
+        PathIndex.Result result = index.search(normalized, limit, deadlineNanos, cancelled);
+        for (String path : result.paths()) {
+            paths.add(root.resolve(path));
+        }
+        return new SearchResult(paths, result.complete());
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+        if (cacheDirty && !indexing.get()) {
+            new Thread(this::saveCache, "quick-open-cache-writer").start();
+        }
+    }
+
+    /**
+     * Starts a crawl, or asks the running one to crawl again once it finishes so that events lost
+     * to an overflow in the meantime are still picked up.
+     */
+    private void startCrawl() {
+        crawlRequested.set(true);
+        if (!indexing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread crawler = new Thread(() -> {
+            try {
+                if (!cacheLoaded) {
+                    // Loaded here rather than in open() so decoding a large cache never blocks the caller.
+                    cacheLoaded = true;
+                    loadCache();
+                }
+                while (!closed && crawlRequested.getAndSet(false)) {
+                    crawl();
+                }
+            } finally {
+                indexing.set(false);
+            }
+            if (!closed && crawlRequested.get()) {
+                startCrawl();
+            }
+        }, "quick-open-indexer");
+        crawler.setDaemon(true);
+        crawler.start();
+    }
+
+    private void crawl() {
+        int crawlGeneration = generation.incrementAndGet();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            pool.invoke(new DirectoryTask(root));
+            if (!closed) {
+                index.retainGeneration(crawlGeneration);
+                index.trimToSize();
+                saveCache();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void watch() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.poll(CACHE_SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            if (key == null) {
+                if (cacheDirty && !indexing.get()) {
+                    saveCache();
+                }
+                continue;
+            }
+
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    startCrawl();
+                } else if (directory != null) {
+                    applyEvent(event.kind(), directory.resolve((Path) event.context()));
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    private void applyEvent(WatchEvent.Kind<?> kind, Path child) {
+        if (kind == ENTRY_CREATE) {
+            if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                if (!IGNORED_DIRECTORIES.contains(child.getFileName().toString())) {
+                    ForkJoinPool.commonPool().invoke(new DirectoryTask(child));
+                }
+            } else if (Files.isRegularFile(child, LinkOption.NOFOLLOW_LINKS)) {
+                index.addAll(List.of(relativize(child)), generation.get());
+            }
+        } else if (kind == ENTRY_DELETE) {
+            index.removeTree(relativize(child));
+        }
+        cacheDirty = true;
+    }
+
+    private String relativize(Path path) {
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    private void loadCache() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(cacheFile))))) {
+            if (in.readInt() != CACHE_VERSION || !in.readUTF().equals(root.toString())) {
+                return;
+            }
+            int count = in.readInt();
+            List<String> paths = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                paths.add(in.readUTF());
+            }
+            index.addAll(paths, generation.get());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void saveCache() {
+        cacheDirty = false;
+        List<String> paths = index.snapshot();
+        try {
+            Files.createDirectories(CACHE_DIRECTORY);
+            Path temporary = Files.createTempFile(CACHE_DIRECTORY, "index", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+                out.writeInt(CACHE_VERSION);
+                out.writeUTF(root.toString());
+                out.writeInt(paths.size());
+                for (String path : paths) {
+                    out.writeUTF(path);
+                }
+            }
+            Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public record SearchResult(List<Path> paths, boolean complete) {
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private final Path directory;
+
+        DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            if (closed) {
+                return;
+            }
+            try {
+                watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE), directory);
+            } catch (IOException | ClosedWatchServiceException e) {
+                // Unwatchable directories are still indexed; they are refreshed by the next crawl.
+            }
+
+            List<String> files = new ArrayList<>();
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        if (!IGNORED_DIRECTORIES.contains(child.getFileName().toString())) {
+                            subdirectories.add(new DirectoryTask(child));
+                        }
+                    } else if (attributes.isRegularFile()) {
+                        files.add(relativize(child));
+                    }
+                }
+            } catch (IOException e) {
+                return;
+            }
+
+            index.addAll(files, generation.get());
+            invokeAll(subdirectories);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.quickopen;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class QuickOpenDialog extends JDialog {
+    private static final int MAX_RESULTS = 50;
+    private static final long SEARCH_TIMEOUT_MS = 40;
+
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "quick-open-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ProjectIndex projectIndex;
+    private final Consumer<File> fileOpener;
+    private final JTextField queryField;
+    private final DefaultListModel<Path> resultsModel;
+    private final JList<Path> resultsList;
+    private final JLabel statusLabel;
+    private final Timer statusTimer;
+    private final AtomicLong searchSequence = new AtomicLong();
+    private String searchStatus = "";
+
+    public QuickOpenDialog(JFrame owner, ProjectIndex projectIndex, Consumer<File> fileOpener) {
+        super(owner, "Quick Open", true);
+        this.projectIndex = projectIndex;
+        this.fileOpener = fileOpener;
+
+        queryField = new JTextField(40);
+        resultsModel = new DefaultListModel<>();
+        resultsList = new JList<>(resultsModel);
+        resultsList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultsList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                Path path = (Path) value;
+                String text = path.getFileName() + "  -  " + projectIndex.getRoot().relativize(path);
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        statusLabel = new JLabel();
+
+        queryField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateResults();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateResults();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateResults();
+            }
+        });
+        queryField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN -> moveSelection(1);
+                    case KeyEvent.VK_UP -> moveSelection(-1);
+                    case KeyEvent.VK_ENTER -> openSelected();
+                    case KeyEvent.VK_ESCAPE -> dispose();
+                }
+            }
+        });
+        resultsList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+
+        JPanel panel = new JPanel(new BorderLayout(0, 5));
+        panel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        panel.add(queryField, BorderLayout.NORTH);
+        panel.add(new JScrollPane(resultsList), BorderLayout.CENTER);
+        panel.add(statusLabel, BorderLayout.SOUTH);
+        setContentPane(panel);
+
+        statusTimer = new Timer(500, e -> updateStatus());
+        statusTimer.start();
+        updateStatus();
+
+        setSize(600, 400);
+        setLocationRelativeTo(owner);
+    }
+
+    @Override
+    public void dispose() {
+        statusTimer.stop();
+        // Cancels any background search still running for this palette.
+        searchSequence.incrementAndGet();
+        super.dispose();
+    }
+
+    private void updateResults() {
+        String query = queryField.getText();
+        long sequence = searchSequence.incrementAndGet();
+        SEARCH_EXECUTOR.execute(() -> {
+            if (sequence != searchSequence.get()) {
+                return;
+            }
+            long start = System.nanoTime();
+            ProjectIndex.SearchResult result = projectIndex.search(query, MAX_RESULTS, SEARCH_TIMEOUT_MS);
+            SwingUtilities.invokeLater(() -> showResults(sequence, result, start));
+            if (!result.complete()) {
+                // Show the quick partial ranking first, then finish the scan unless the query changes.
+                ProjectIndex.SearchResult fullResult = projectIndex.searchAll(query, MAX_RESULTS, () -> sequence != searchSequence.get());
+                SwingUtilities.invokeLater(() -> showResults(sequence, fullResult, start));
+            }
+        });
+    }
+
+    private void showResults(long sequence, ProjectIndex.SearchResult result, long startNanos) {
+        if (sequence != searchSequence.get()) {
+            return;
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        Path selected = resultsList.getSelectedValue();
+
+        resultsModel.clear();
+        resultsModel.addAll(result.paths());
+        if (!result.paths().isEmpty()) {
+            resultsList.setSelectedIndex(Math.max(0, result.paths().indexOf(selected)));
+        }
+        searchStatus = result.complete()
+                ? result.paths().size() + " results in " + elapsedMillis + " ms"
+                : result.paths().size() + " results so far, still searching...";
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        String indexStatus = (projectIndex.isIndexing() ? "Indexing... " : "") + projectIndex.size() + " files";
+        statusLabel.setText(searchStatus.isEmpty() ? indexStatus : searchStatus + "  |  " + indexStatus);
+    }
+
+    private void moveSelection(int delta) {
+        int size = resultsModel.getSize();
+        if (size == 0) {
+            return;
+        }
+        int index = Math.max(0, Math.min(size - 1, resultsList.getSelectedIndex() + delta));
+        resultsList.setSelectedIndex(index);
+        resultsList.ensureIndexIsVisible(index);
+    }
+
+    private void openSelected() {
+        Path selected = resultsList.getSelectedValue();
+        if (selected != null) {
+            dispose();
+            fileOpener.accept(selected.toFile());
+        }
+    }
+}
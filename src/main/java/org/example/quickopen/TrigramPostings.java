@@ -0,0 +1,164 @@
+package org.example.quickopen;
+
+import java.util.Arrays;
+
+/**
+ * Maps a trigram (three lower-cased chars packed into a long) to the ascending ids containing it.
+ * Keys live in a primitive open-addressing table and each posting list is stored as varint
+ * deltas, which keeps most entries at one or two bytes.
+ */
+final class TrigramPostings {
+    private long[] keys = new long[1024];
+    private PostingList[] lists = new PostingList[1024];
+    private int size;
+
+    void add(long trigram, int id) {
+        int slot = slot(trigram);
+        if (lists[slot] == null) {
+            keys[slot] = trigram;
+            lists[slot] = new PostingList();
+            if (++size * 2 > keys.length) {
+                rehash();
+                slot = slot(trigram);
+            }
+        }
+        lists[slot].add(id);
+    }
+
+    /**
+     * Returns the ascending ids whose text contains every trigram in {@code trigrams}.
+     */
+    int[] intersect(long[] trigrams) {
+        if (trigrams.length == 0) {
+            return new int[0];
+        }
+        PostingList[] selected = new PostingList[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            selected[i] = lists[slot(trigrams[i])];
+            if (selected[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(selected, (left, right) -> Integer.compare(left.count, right.count));
+
+        int[] result = selected[0].decode();
+        for (int i = 1; i < selected.length && result.length > 0; i++) {
+            result = selected[i].retain(result);
+        }
+        return result;
+    }
+
+    void trimToSize() {
+        for (PostingList list : lists) {
+            if (list != null) {
+                list.trimToSize();
+            }
+        }
+    }
+
+    void clear() {
+        keys = new long[1024];
+        lists = new PostingList[1024];
+        size = 0;
+    }
+
+    private int slot(long trigram) {
+        int mask = keys.length - 1;
+        int slot = (int) ((trigram * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (lists[slot] != null && keys[slot] != trigram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        PostingList[] oldLists = lists;
+        keys = new long[oldKeys.length * 2];
+        lists = new PostingList[oldLists.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldLists[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                lists[slot] = oldLists[i];
+            }
+        }
+    }
+
+    private static final class PostingList {
+        private byte[] data = new byte[4];
+        private int length;
+        private int count;
+        private int last = -1;
+
+        void add(int id) {
+            if (id <= last) {
+                return;
+            }
+            int delta = id - last;
+            last = id;
+            count++;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + 5, data.length * 2));
+            }
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+        }
+
+        int[] decode() {
+            int[] ids = new int[count];
+            int id = -1;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                ids[i] = id;
+            }
+            return ids;
+        }
+
+        /**
+         * Returns the ids of {@code sorted} that are also in this list.
+         */
+        int[] retain(int[] sorted) {
+            int[] result = new int[Math.min(sorted.length, count)];
+            int found = 0;
+            int next = 0;
+            int id = -1;
+            int position = 0;
+            for (int i = 0; i < count && next < sorted.length; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                while (next < sorted.length && sorted[next] < id) {
+                    next++;
+                }
+                if (next < sorted.length && sorted[next] == id) {
+                    result[found++] = id;
+                    next++;
+                }
+            }
+            return Arrays.copyOf(result, found);
+        }
+
+        void trimToSize() {
+            data = Arrays.copyOf(data, length);
+        }
+    }
+}